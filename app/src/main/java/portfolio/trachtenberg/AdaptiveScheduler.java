@@ -0,0 +1,284 @@
+package portfolio.trachtenberg;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+// Tracks which digit pairs and answer columns the user struggles with and picks
+// the next practice problem so weak pairs come up more often.
+//
+// Every statistic lives in a primitive array and is updated in O(1) per tap. The
+// sampling weights sit in two Fenwick trees, so re-weighting a pair and drawing
+// the next one are both O(log n). The whole model serializes to 429 bytes.
+public class AdaptiveScheduler {
+
+    // Problems are a 4-digit number times a 3-digit number, as the hints expect
+    public static final int FIRST_DIGITS = 4;
+    public static final int SECOND_DIGITS = 3;
+    public static final int COLUMNS = FIRST_DIGITS + SECOND_DIGITS;
+
+    private static final int PAIRS = 100;
+    // A pair's units land in column i + j, so placements only reach columns 0..5
+    private static final int PLACEMENT_COLUMNS = COLUMNS - 1;
+    // Counts are halved at this cap so old results fade and each fits in a byte
+    private static final int MAX_COUNT = 255;
+    // Response times are clamped so one long pause cannot dominate the weight
+    private static final int MAX_TIME_MS = 10000;
+    // Keeps mastered pairs in rotation
+    private static final int MIN_WEIGHT = 16;
+    private static final byte VERSION = 1;
+    public static final int SERIALIZED_SIZE = 1 + (PAIRS + COLUMNS) * 4;
+
+    private final int[] pairAttempts = new int[PAIRS];
+    private final int[] pairMisses = new int[PAIRS];
+    private final int[] pairTimeMs = new int[PAIRS];
+    private final int[] columnAttempts = new int[COLUMNS];
+    private final int[] columnMisses = new int[COLUMNS];
+    private final int[] columnTimeMs = new int[COLUMNS];
+
+    private final int[] pairWeight = new int[PAIRS];
+    private final long[] pairTree = new long[PAIRS + 1];
+    private final int[] columnWeight = new int[PLACEMENT_COLUMNS];
+    private final long[] columnTree = new long[PLACEMENT_COLUMNS + 1];
+
+    public AdaptiveScheduler() {
+        rebuildWeights();
+    }
+
+    // Records one tap on answer column "column" (0 is the units digit) of first * second.
+    // The answer digit at column c is built from the units of every pair with i + j == c
+    // and the tens of every pair with i + j == c - 1, so all of those pairs are charged.
+    public void recordAnswer(int first, int second, int column, boolean correct, long elapsedMs) {
+        if (column < 0 || column >= COLUMNS) {
+            return;
+        }
+        int timeMs = (int) Math.max(0, Math.min(elapsedMs, MAX_TIME_MS));
+
+        columnAttempts[column]++;
+        if (!correct) {
+            columnMisses[column]++;
+        }
+        columnTimeMs[column] = ewma(columnTimeMs[column], timeMs);
+        if (columnAttempts[column] > MAX_COUNT) {
+            columnAttempts[column] >>= 1;
+            columnMisses[column] >>= 1;
+        }
+        if (column < PLACEMENT_COLUMNS) {
+            updateColumnWeight(column);
+        }
+
+        int firstDigits = first;
+        for (int i = 0; i < FIRST_DIGITS; i++, firstDigits /= 10) {
+            int j = column - i;
+            if (j >= 0 && j < SECOND_DIGITS) {
+                recordPair(firstDigits % 10, digitAt(second, j), correct, timeMs);
+            }
+            if (j - 1 >= 0 && j - 1 < SECOND_DIGITS) {
+                recordPair(firstDigits % 10, digitAt(second, j - 1), correct, timeMs);
+            }
+        }
+    }
+
+    // Returns the next problem as {first, second}, biased towards weak pairs and columns
+    public int[] nextProblem(Random rnd) {
+        int pair = sample(pairTree, rnd);
+        int a = pair / 10;
+        int b = pair % 10;
+        int column = sample(columnTree, rnd);
+
+        // Pick a placement (i, j) with i + j == column, skipping any that would put a zero
+        // in a leading position; fall back to a random placement if none is left
+        int lowest = Math.max(0, column - (SECOND_DIGITS - 1));
+        int highest = Math.min(FIRST_DIGITS - 1, column);
+        int span = highest - lowest + 1;
+        int start = rnd.nextInt(span);
+        int i = -1;
+        for (int k = 0; k < span; k++) {
+            int candidate = lowest + (start + k) % span;
+            if (canPlace(a, b, candidate, column - candidate)) {
+                i = candidate;
+                break;
+            }
+        }
+        int j;
+        if (i < 0) {
+            i = rnd.nextInt(FIRST_DIGITS - 1);
+            j = rnd.nextInt(SECOND_DIGITS - 1);
+        } else {
+            j = column - i;
+        }
+
+        int[] components = new int[2];
+        components[0] = randomNumber(FIRST_DIGITS, i, a, rnd);
+        components[1] = randomNumber(SECOND_DIGITS, j, b, rnd);
+        return components;
+    }
+
+    public double pairErrorRate(int a, int b) {
+        int pair = a * 10 + b;
+        return pairAttempts[pair] == 0 ? 0 : (double) pairMisses[pair] / pairAttempts[pair];
+    }
+
+    public int pairResponseTimeMs(int a, int b) {
+        return pairTimeMs[a * 10 + b];
+    }
+
+    public double columnErrorRate(int column) {
+        return columnAttempts[column] == 0 ? 0 : (double) columnMisses[column] / columnAttempts[column];
+    }
+
+    public int columnResponseTimeMs(int column) {
+        return columnTimeMs[column];
+    }
+
+    // Packs the model as one version byte then, for every pair and every column,
+    // an unsigned attempt count, an unsigned miss count and an unsigned 16-bit time
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(SERIALIZED_SIZE);
+        buffer.put(VERSION);
+        for (int p = 0; p < PAIRS; p++) {
+            putStats(buffer, pairAttempts[p], pairMisses[p], pairTimeMs[p]);
+        }
+        for (int c = 0; c < COLUMNS; c++) {
+            putStats(buffer, columnAttempts[c], columnMisses[c], columnTimeMs[c]);
+        }
+        return buffer.array();
+    }
+
+    // Restores a model written by toBytes(); anything unreadable yields a fresh model
+    public static AdaptiveScheduler fromBytes(byte[] bytes) {
+        AdaptiveScheduler scheduler = new AdaptiveScheduler();
+        if (bytes == null || bytes.length != SERIALIZED_SIZE || bytes[0] != VERSION) {
+            return scheduler;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        for (int p = 0; p < PAIRS; p++) {
+            scheduler.pairAttempts[p] = buffer.get() & 0xFF;
+            scheduler.pairMisses[p] = Math.min(buffer.get() & 0xFF, scheduler.pairAttempts[p]);
+            scheduler.pairTimeMs[p] = buffer.getShort() & 0xFFFF;
+        }
+        for (int c = 0; c < COLUMNS; c++) {
+            scheduler.columnAttempts[c] = buffer.get() & 0xFF;
+            scheduler.columnMisses[c] = Math.min(buffer.get() & 0xFF, scheduler.columnAttempts[c]);
+            scheduler.columnTimeMs[c] = buffer.getShort() & 0xFFFF;
+        }
+        scheduler.rebuildWeights();
+        return scheduler;
+    }
+
+    private void recordPair(int a, int b, boolean correct, int timeMs) {
+        int pair = a * 10 + b;
+        pairAttempts[pair]++;
+        if (!correct) {
+            pairMisses[pair]++;
+        }
+        pairTimeMs[pair] = ewma(pairTimeMs[pair], timeMs);
+        if (pairAttempts[pair] > MAX_COUNT) {
+            pairAttempts[pair] >>= 1;
+            pairMisses[pair] >>= 1;
+        }
+        int delta = weight(pairAttempts[pair], pairMisses[pair], pairTimeMs[pair]) - pairWeight[pair];
+        pairWeight[pair] += delta;
+        add(pairTree, pair, delta);
+    }
+
+    private void updateColumnWeight(int column) {
+        int delta = weight(columnAttempts[column], columnMisses[column], columnTimeMs[column])
+                - columnWeight[column];
+        columnWeight[column] += delta;
+        add(columnTree, column, delta);
+    }
+
+    private void rebuildWeights() {
+        Arrays.fill(pairTree, 0);
+        for (int p = 0; p < PAIRS; p++) {
+            pairWeight[p] = weight(pairAttempts[p], pairMisses[p], pairTimeMs[p]);
+            add(pairTree, p, pairWeight[p]);
+        }
+        Arrays.fill(columnTree, 0);
+        for (int c = 0; c < PLACEMENT_COLUMNS; c++) {
+            columnWeight[c] = weight(columnAttempts[c], columnMisses[c], columnTimeMs[c]);
+            add(columnTree, c, columnWeight[c]);
+        }
+    }
+
+    // The Laplace-smoothed error rate scaled linearly to 0..65536 (an unseen pair sits at
+    // 32768), stretched by up to 2x for slow answers. Because time only multiplies the
+    // error term, a slow pair can outweigh a faster one only if its miss rate is at least
+    // half as high: one never missed in 100 tries stays near 1300 even at 10 s, while one
+    // missed 30% of the time at 1 s weighs about 22000.
+    private static int weight(int attempts, int misses, int timeMs) {
+        long error = ((long) (misses + 1) << 16) / (attempts + 2);
+        return (int) (MIN_WEIGHT + error + error * timeMs / MAX_TIME_MS);
+    }
+
+    // Current sampling weight of a digit pair
+    int pairWeight(int a, int b) {
+        return pairWeight[a * 10 + b];
+    }
+
+    // Exponential moving average with alpha = 1/8; the first sample is taken as is
+    private static int ewma(int average, int sample) {
+        return average == 0 ? sample : average + ((sample - average) >> 3);
+    }
+
+    private static void add(long[] tree, int index, long delta) {
+        for (int k = index + 1; k < tree.length; k += k & -k) {
+            tree[k] += delta;
+        }
+    }
+
+    // Walks down the Fenwick tree to the index whose prefix sum covers a random target
+    private static int sample(long[] tree, Random rnd) {
+        int n = tree.length - 1;
+        long total = 0;
+        for (int k = n; k > 0; k -= k & -k) {
+            total += tree[k];
+        }
+        long target = (long) (rnd.nextDouble() * total);
+        int position = 0;
+        for (int step = Integer.highestOneBit(n); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= n && tree[next] <= target) {
+                position = next;
+                target -= tree[next];
+            }
+        }
+        return Math.min(position, n - 1);
+    }
+
+    private static boolean canPlace(int a, int b, int i, int j) {
+        return !(a == 0 && i == FIRST_DIGITS - 1) && !(b == 0 && j == SECOND_DIGITS - 1);
+    }
+
+    // Builds a number of "digits" digits with "digit" at "position" (0 is the units)
+    // and no leading zero
+    private static int randomNumber(int digits, int position, int digit, Random rnd) {
+        int number = 0;
+        for (int k = digits - 1; k >= 0; k--) {
+            int d;
+            if (k == position) {
+                d = digit;
+            } else if (k == digits - 1) {
+                d = 1 + rnd.nextInt(9);
+            } else {
+                d = rnd.nextInt(10);
+            }
+            number = number * 10 + d;
+        }
+        return number;
+    }
+
+    private static int digitAt(int number, int position) {
+        for (int k = 0; k < position; k++) {
+            number /= 10;
+        }
+        return number % 10;
+    }
+
+    private static void putStats(ByteBuffer buffer, int attempts, int misses, int timeMs) {
+        buffer.put((byte) attempts);
+        buffer.put((byte) misses);
+        buffer.putShort((short) timeMs);
+    }
+}
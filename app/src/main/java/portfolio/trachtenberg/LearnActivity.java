@@ -5,7 +5,6 @@ import android.animation.ObjectAnimator;
 import android.content.Intent;
 import android.content.SharedPreferences;
 import android.os.Bundle;
-import android.preference.PreferenceManager;
 import android.text.Spannable;
 import android.text.SpannableString;
 import android.text.Spanned;
@@ -29,8 +28,7 @@ import java.util.Random;
 
 import portfolio.math.trachtenberg.R;
 
-public class LearnActivity extends AppCompatActivity implements
-        SharedPreferences.OnSharedPreferenceChangeListener {
+public class LearnActivity extends AppCompatActivity {
 
     private static final String FIRSTCHAR_REMAINDER = "firstchar_remainder";
     private static final String ANSWER_STRING = "answer_string";
@@ -170,16 +168,4 @@ public class LearnActivity extends AppCompatActivity implements
         sb.setSpan(new ForegroundColorSpan(getResources().getColor(R.color.colorAccent)),
                 string.indexOf(second), string.indexOf(second) + 1, Spannable.SPAN_EXCLUSIVE_EXCLUSIVE);
     }
-
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        PreferenceManager.getDefaultSharedPreferences(this)
-                .unregisterOnSharedPreferenceChangeListener(this);
-    }
-
-    @Override
-    public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String s) {
-
-    }
 }
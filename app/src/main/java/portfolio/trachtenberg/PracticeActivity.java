@@ -5,10 +5,12 @@ import android.animation.ObjectAnimator;
 import android.content.Intent;
 import android.content.SharedPreferences;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.preference.PreferenceManager;
 import android.text.SpannableString;
 import android.text.Spanned;
 import android.text.style.ForegroundColorSpan;
+import android.util.Base64;
 import android.view.Display;
 import android.view.Menu;
 import android.view.MenuItem;
@@ -33,15 +35,16 @@ import portfolio.math.trachtenberg.R;
 
 
 public class PracticeActivity extends AppCompatActivity implements
-        SharedPreferences.OnSharedPreferenceChangeListener {
+        SettingsBus.Listener {
 
     private static final String INDEX_COUNT = "index_count";
     private static final String EQUATION = "equation";
     private static final String ANSWER_PROGRESSION = "answer_progression";
     private static final String ANSWER_STRING = "answer_string";
-    public static final String HINT = "hint";
-    private static final String HINTHELP = "hinthelp";
+    public static final String HINT = SettingsBus.HINT;
+    private static final String HINTHELP = SettingsBus.HINT_HELP;
     private static final String FIRSTCHAR_REMAINDER = "firstchar_remainder";
+    private static final String ADAPTIVE_MODEL = "adaptive_model";
     private Button button;
     private Button button1;
     private Button button2;
@@ -59,6 +62,9 @@ public class PracticeActivity extends AppCompatActivity implements
     private int remainderHint;
     private int moveCount;
     private Random mRnd;
+    private AdaptiveScheduler scheduler;
+    private long questionShownAt;
+    private SettingsBus settingsBus;
     public SharedPreferences sharedPreferences;
 
     @Override
@@ -87,7 +93,11 @@ public class PracticeActivity extends AppCompatActivity implements
         //mAdView.loadAd(adRequest);                                        DISABLED ADS
         mRnd = new Random();
         sharedPreferences = PreferenceManager.getDefaultSharedPreferences(this);
-        sharedPreferences.registerOnSharedPreferenceChangeListener(this);
+        settingsBus = SettingsBus.getInstance(this);
+        settingsBus.subscribe(HINT, this);
+        // The bus only reports changes, so apply the current hint mode to the views once here
+        onSettingChanged(settingsBus.get(), HINT);
+        scheduler = loadScheduler();
         
         // Retrieve instance state (if any) and update views accordingly
         if (savedInstanceState != null) {
@@ -143,11 +153,28 @@ public class PracticeActivity extends AppCompatActivity implements
     @Override
     protected void onPause() {
         super.onPause();
+        // Persist the weakness model so the next session keeps its weights
+        sharedPreferences.edit().putString(ADAPTIVE_MODEL,
+                Base64.encodeToString(scheduler.toBytes(), Base64.NO_WRAP)).apply();
     }
 
+    // Restores the adaptive scheduler from preferences, starting fresh if none is stored
+    private AdaptiveScheduler loadScheduler() {
+        String stored = sharedPreferences.getString(ADAPTIVE_MODEL, null);
+        if (stored == null) {
+            return new AdaptiveScheduler();
+        }
+        try {
+            return AdaptiveScheduler.fromBytes(Base64.decode(stored, Base64.NO_WRAP));
+        } catch (IllegalArgumentException e) {
+            return new AdaptiveScheduler();
+        }
+    }
+
+    // Only called by the settings bus when the hint mode actually flips
     @Override
-    public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String key) {
-        if(sharedPreferences.getBoolean(HINT, false)){
+    public void onSettingChanged(SettingsBus.Snapshot settings, String key) {
+        if(settings.hint){
             hintResultTextView.setVisibility(View.VISIBLE);
             hintQuestionTextView.setVisibility(View.VISIBLE);
         } else {
@@ -172,15 +199,9 @@ public class PracticeActivity extends AppCompatActivity implements
         setMove();
     }
 
+    // Asks the adaptive scheduler for the next problem, weighted towards weak digit pairs
     public int[] operatorEquation(){
-        int[] components = new int[2];
-        components[0] = mRnd.nextInt(10000);
-        components[1] = mRnd.nextInt(1000);
-        while (components[0] < 1000 || components[1] < 100) {
-            components[1]= mRnd.nextInt(10000);
-            components[0] = mRnd.nextInt(1000);
-        }
-        return components;
+        return scheduler.nextProblem(mRnd);
     }
 
 
@@ -213,6 +234,7 @@ public class PracticeActivity extends AppCompatActivity implements
         button1.setText(String.valueOf(buttonAnswers[1]));
         button2.setText(String.valueOf(buttonAnswers[2]));
         button3.setText(String.valueOf(buttonAnswers[3]));
+        questionShownAt = SystemClock.uptimeMillis();
     }
 
     // Method for setting up hints for a multiplication practice session
@@ -230,7 +252,7 @@ public class PracticeActivity extends AppCompatActivity implements
         hintQuestionTextView.setText(questionString);
 
         // Highlight digits in original equation for hint if preference is set to true
-        if (sharedPreferences.getBoolean(HINT, false)) {
+        if (settingsBus.get().hint) {
             SpannableString sbFirst = new SpannableString(equationTextView.getText().toString());
             sbFirst.setSpan(new ForegroundColorSpan(getResources().getColor(R.color.colorAccent)), fsIndex,
                     fsIndex + 1, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
@@ -285,10 +307,10 @@ public class PracticeActivity extends AppCompatActivity implements
             // If the value of "move" matches the current index or the current index plus 4
             if (move == i || move == i + 4) {
                 // If the index is equal to the current index plus 4 and a hint has been seen, skip this iteration
-                if (move == i + 4 && sharedPreferences.getBoolean(HINT, false)) continue;
+                if (move == i + 4 && settingsBus.get().hint) continue;
                 
                 // If the index is equal to 1 and the hint help has not been seen, show a toast message
-                if (move == 1 && sharedPreferences.getBoolean(HINTHELP, true)) {
+                if (move == 1 && settingsBus.get().hintHelp) {
                     Toast.makeText(this, "Touch hint to get next Step", Toast.LENGTH_SHORT).show();
                     sharedPreferences.edit().putBoolean(HINTHELP, false).apply();
                 }
@@ -329,7 +351,7 @@ public class PracticeActivity extends AppCompatActivity implements
         }
         
         // If a hint has been seen, call the setIndex method
-        if (sharedPreferences.getBoolean(HINT, false)) {
+        if (settingsBus.get().hint) {
             setIndex();
         }
     }
@@ -343,8 +365,16 @@ public class PracticeActivity extends AppCompatActivity implements
         // declares and initializes a Boolean variable to hold the answer status
         Boolean answerStatus;
         
+        // feeds the tap into the weakness model for the current answer column, including
+        // wrong taps that the hint check below turns away
+        String[] operands = equationString.split(" \\* ");
+        scheduler.recordAnswer(Integer.parseInt(operands[0]), Integer.parseInt(operands[1]), indexCount,
+                buttonTag.equals(Integer.toString(answerIndex)), SystemClock.uptimeMillis() - questionShownAt);
+        // a retry after a wrong tap is timed from this tap, not from when the column appeared
+        questionShownAt = SystemClock.uptimeMillis();
+        
         // checks if hint is enabled and button tag is not the correct answer
-        if(sharedPreferences.getBoolean(HINT, false) && move < 9 && !buttonTag.equals(Integer.toString(answerIndex))){
+        if(settingsBus.get().hint && move < 9 && !buttonTag.equals(Integer.toString(answerIndex))){
             // displays a toast message and returns if hint is not available
             Toast.makeText(this, "Touch the Hint to Receive More Hints", Toast.LENGTH_SHORT).show();
             return;
@@ -353,7 +383,7 @@ public class PracticeActivity extends AppCompatActivity implements
         // checks if button tag is equal to the correct answer
         if (buttonTag.equals(Integer.toString(answerIndex))) {
             // checks if hint is not available or if the user has made enough moves to use the hint
-            if(!sharedPreferences.getBoolean(HINT, false) || moveCount > move) {
+            if(!settingsBus.get().hint || moveCount > move) {
                 // sets the index to the correct answer index if hint is available
                 while (moveCount > move) {
                     setIndex();
@@ -435,7 +465,6 @@ public class PracticeActivity extends AppCompatActivity implements
     @Override
     protected void onDestroy(){
         super.onDestroy();
-        PreferenceManager.getDefaultSharedPreferences(this)
-                .unregisterOnSharedPreferenceChangeListener(this);
+        settingsBus.unsubscribe(HINT, this);
     }
 }
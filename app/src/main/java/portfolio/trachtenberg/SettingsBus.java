@@ -0,0 +1,111 @@
+package portfolio.trachtenberg;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.preference.PreferenceManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Single in-process broadcaster for user settings. The current values live in an immutable
+// Snapshot behind an AtomicReference, so reading a setting is one volatile load instead of
+// a SharedPreferences lookup. One preference listener feeds the bus and subscribers are
+// only told about the key they asked for, and only when its value actually changed.
+public final class SettingsBus implements SharedPreferences.OnSharedPreferenceChangeListener {
+
+    public static final String HINT = "hint";
+    public static final String HINT_HELP = "hinthelp";
+
+    // Notified on the main thread when a subscribed key changes value
+    public interface Listener {
+        void onSettingChanged(Snapshot settings, String key);
+    }
+
+    public static final class Snapshot {
+        public final boolean hint;
+        public final boolean hintHelp;
+
+        Snapshot(boolean hint, boolean hintHelp) {
+            this.hint = hint;
+            this.hintHelp = hintHelp;
+        }
+
+        static Snapshot read(SharedPreferences preferences) {
+            return new Snapshot(preferences.getBoolean(HINT, false),
+                    preferences.getBoolean(HINT_HELP, true));
+        }
+    }
+
+    // Also keeps the bus reachable, since SharedPreferences only holds listeners weakly
+    private static volatile SettingsBus instance;
+
+    private final AtomicReference<Snapshot> current;
+    private final List<Listener> hintListeners = new CopyOnWriteArrayList<>();
+    private final List<Listener> hintHelpListeners = new CopyOnWriteArrayList<>();
+
+    private SettingsBus(SharedPreferences preferences) {
+        current = new AtomicReference<>(Snapshot.read(preferences));
+        preferences.registerOnSharedPreferenceChangeListener(this);
+    }
+
+    public static SettingsBus getInstance(Context context) {
+        SettingsBus bus = instance;
+        if (bus == null) {
+            synchronized (SettingsBus.class) {
+                bus = instance;
+                if (bus == null) {
+                    bus = new SettingsBus(PreferenceManager
+                            .getDefaultSharedPreferences(context.getApplicationContext()));
+                    instance = bus;
+                }
+            }
+        }
+        return bus;
+    }
+
+    public Snapshot get() {
+        return current.get();
+    }
+
+    public void subscribe(String key, Listener listener) {
+        List<Listener> listeners = listenersFor(key);
+        if (listeners != null) {
+            listeners.add(listener);
+        }
+    }
+
+    public void unsubscribe(String key, Listener listener) {
+        List<Listener> listeners = listenersFor(key);
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+
+    @Override
+    public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String key) {
+        List<Listener> listeners = listenersFor(key);
+        if (listeners == null) {
+            // Progress values such as index_count are not settings
+            return;
+        }
+        Snapshot next = Snapshot.read(sharedPreferences);
+        Snapshot previous = current.getAndSet(next);
+        boolean changed = HINT.equals(key) ? previous.hint != next.hint
+                : previous.hintHelp != next.hintHelp;
+        if (changed) {
+            for (Listener listener : listeners) {
+                listener.onSettingChanged(next, key);
+            }
+        }
+    }
+
+    private List<Listener> listenersFor(String key) {
+        if (HINT.equals(key)) {
+            return hintListeners;
+        } else if (HINT_HELP.equals(key)) {
+            return hintHelpListeners;
+        }
+        return null;
+    }
+}
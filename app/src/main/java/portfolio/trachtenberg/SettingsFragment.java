@@ -1,6 +1,5 @@
 package portfolio.trachtenberg;
 
-import android.content.SharedPreferences;
 import android.os.Bundle;
 
 import androidx.preference.Preference;
@@ -9,8 +8,7 @@ import androidx.preference.PreferenceFragmentCompat;
 import portfolio.math.trachtenberg.R;
 
 public class SettingsFragment extends PreferenceFragmentCompat
-    implements SharedPreferences.OnSharedPreferenceChangeListener,
-        Preference.OnPreferenceChangeListener {
+    implements Preference.OnPreferenceChangeListener {
 
 
     @Override
@@ -21,26 +19,8 @@ public class SettingsFragment extends PreferenceFragmentCompat
         preference.setOnPreferenceChangeListener(this);
     }
 
-    @Override
-    public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String key) {
-    }
-
     @Override
     public boolean onPreferenceChange(Preference preference, Object newValue) {
         return true;
     }
-
-    @Override
-    public void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        getPreferenceScreen().getSharedPreferences()
-                .registerOnSharedPreferenceChangeListener(this);
-    }
-
-    @Override
-    public void onDestroy() {
-        super.onDestroy();
-        getPreferenceScreen().getSharedPreferences()
-                .unregisterOnSharedPreferenceChangeListener(this);
-    }
 }
@@ -0,0 +1,175 @@
+package portfolio.trachtenberg;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+// Adds columns of numbers with the Trachtenberg method. Going down a column, each digit
+// is added to a running total; whenever the total passes 11 it is reduced by 11 and a
+// tick is made. Only the total and the tick count of each column are kept, so memory
+// depends on the widest operand and not on how many operands are summed.
+//
+// Since 11 = 10 + 1, every tick in column c is worth one in column c and one in column
+// c + 1. The answer digit for a column is its running total plus its own ticks plus the
+// ticks of the column to its right, with ordinary carrying only in that last step.
+public class TrachtenbergAddition {
+
+    private static final int LIMIT = 11;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Index 0 is the units column
+    private int[] runningTotals = new int[8];
+    private long[] ticks = new long[8];
+    private int columns;
+    private long operands;
+    private byte[] line = new byte[32];
+
+    // Adds one non-negative decimal operand, e.g. typed in by the user in practice mode
+    public void add(CharSequence operand) {
+        int length = operand.length();
+        ensureLine(length);
+        for (int k = 0; k < length; k++) {
+            char ch = operand.charAt(k);
+            line[k] = ch < 128 ? (byte) ch : (byte) '?';
+        }
+        addLine(length);
+    }
+
+    // Streams one operand per line from the file, see add(ReadableByteChannel)
+    public void add(File file) throws IOException {
+        try (FileInputStream in = new FileInputStream(file)) {
+            add(in.getChannel());
+        }
+    }
+
+    // Streams one operand per line from the stream; the stream is not closed
+    public void add(InputStream in) throws IOException {
+        add(Channels.newChannel(in));
+    }
+
+    // Streams one operand per line through a direct buffer. Blank lines, surrounding
+    // whitespace and "\r\n" line endings are skipped.
+    public void add(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        int length = 0;
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b == '\n') {
+                    addLine(length);
+                    length = 0;
+                } else {
+                    if (length == line.length) {
+                        ensureLine(length + 1);
+                    }
+                    line[length++] = b;
+                }
+            }
+            buffer.clear();
+        }
+        addLine(length);
+    }
+
+    // Running total of a column (0 is the units column), always between 0 and 11
+    public int runningTotal(int column) {
+        return column < columns ? runningTotals[column] : 0;
+    }
+
+    // Number of times the running total of a column was reduced by 11
+    public long ticks(int column) {
+        return column < columns ? ticks[column] : 0;
+    }
+
+    public int columnCount() {
+        return columns;
+    }
+
+    public long operandCount() {
+        return operands;
+    }
+
+    // Resolves the running totals and ticks into the decimal sum
+    public String total() {
+        StringBuilder digits = new StringBuilder(columns + 20);
+        long carry = 0;
+        // Column "columns" takes the ticks of the leftmost column, the carry continues after
+        for (int c = 0; c <= columns || carry > 0; c++) {
+            long value = carry + runningTotal(c) + ticks(c) + (c > 0 ? ticks(c - 1) : 0);
+            digits.append((char) ('0' + value % 10));
+            carry = value / 10;
+        }
+        return trim(digits.reverse());
+    }
+
+    public void reset() {
+        Arrays.fill(runningTotals, 0);
+        Arrays.fill(ticks, 0);
+        columns = 0;
+        operands = 0;
+    }
+
+    // Adds the digits held in line[0..length) column by column, right to left
+    private void addLine(int length) {
+        int end = length;
+        while (end > 0 && isSpace(line[end - 1])) {
+            end--;
+        }
+        int start = 0;
+        while (start < end && isSpace(line[start])) {
+            start++;
+        }
+        if (start == end) {
+            return;
+        }
+        // Validate first so a rejected operand leaves the running totals untouched
+        for (int k = start; k < end; k++) {
+            if (line[k] < '0' || line[k] > '9') {
+                throw new NumberFormatException("For input string: \""
+                        + new String(line, start, end - start) + "\"");
+            }
+        }
+        ensureColumns(end - start);
+        for (int k = end - 1, c = 0; k >= start; k--, c++) {
+            int total = runningTotals[c] + line[k] - '0';
+            if (total > LIMIT) {
+                total -= LIMIT;
+                ticks[c]++;
+            }
+            runningTotals[c] = total;
+        }
+        operands++;
+    }
+
+    private void ensureColumns(int width) {
+        if (width > runningTotals.length) {
+            int size = Math.max(width, runningTotals.length * 2);
+            runningTotals = Arrays.copyOf(runningTotals, size);
+            ticks = Arrays.copyOf(ticks, size);
+        }
+        columns = Math.max(columns, width);
+    }
+
+    private void ensureLine(int length) {
+        if (length > line.length) {
+            line = Arrays.copyOf(line, Math.max(length, line.length * 2));
+        }
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static String trim(StringBuilder digits) {
+        int start = 0;
+        while (start < digits.length() - 1 && digits.charAt(start) == '0') {
+            start++;
+        }
+        return digits.length() == 0 ? "0" : digits.substring(start);
+    }
+}
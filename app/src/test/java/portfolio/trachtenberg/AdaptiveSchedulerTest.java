@@ -0,0 +1,153 @@
+package portfolio.trachtenberg;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveSchedulerTest {
+
+    @Test
+    public void serializesToFixedSizeAndRoundTrips() {
+        AdaptiveScheduler scheduler = new AdaptiveScheduler();
+        scheduler.recordAnswer(1234, 567, 2, false, 2500);
+        scheduler.recordAnswer(9876, 543, 0, true, 800);
+        byte[] bytes = scheduler.toBytes();
+        assertEquals(429, bytes.length);
+        assertEquals(AdaptiveScheduler.SERIALIZED_SIZE, bytes.length);
+
+        AdaptiveScheduler restored = AdaptiveScheduler.fromBytes(bytes);
+        assertArrayEquals(bytes, restored.toBytes());
+        assertEquals(1.0, restored.pairErrorRate(3, 6), 0);
+        assertEquals(2500, restored.pairResponseTimeMs(3, 6));
+        assertEquals(0.0, restored.pairErrorRate(6, 3), 0);
+        assertEquals(800, restored.columnResponseTimeMs(0));
+    }
+
+    @Test
+    public void rejectsBadLengthOrVersion() {
+        byte[] fresh = new AdaptiveScheduler().toBytes();
+        AdaptiveScheduler scheduler = new AdaptiveScheduler();
+        scheduler.recordAnswer(1234, 567, 2, false, 2500);
+        byte[] bytes = scheduler.toBytes();
+
+        assertArrayEquals(fresh, AdaptiveScheduler.fromBytes(null).toBytes());
+        assertArrayEquals(fresh, AdaptiveScheduler.fromBytes(new byte[0]).toBytes());
+        assertArrayEquals(fresh, AdaptiveScheduler.fromBytes(Arrays.copyOf(bytes, bytes.length - 1)).toBytes());
+        assertArrayEquals(fresh, AdaptiveScheduler.fromBytes(Arrays.copyOf(bytes, bytes.length + 1)).toBytes());
+        bytes[0] = 2;
+        assertArrayEquals(fresh, AdaptiveScheduler.fromBytes(bytes).toBytes());
+    }
+
+    @Test
+    public void nextProblemIsFourDigitsTimesThreeDigits() {
+        Random rnd = new Random(7);
+        AdaptiveScheduler scheduler = new AdaptiveScheduler();
+        // Weak zero pairs push the scheduler towards placements that would need a leading zero
+        for (int k = 0; k < 200; k++) {
+            scheduler.recordAnswer(1000, 100, 4, false, 5000);
+            scheduler.recordAnswer(1000, 100, 5, false, 5000);
+        }
+        for (int k = 0; k < 100000; k++) {
+            int[] problem = scheduler.nextProblem(rnd);
+            assertEquals(2, problem.length);
+            assertTrue(Arrays.toString(problem), problem[0] >= 1000 && problem[0] <= 9999);
+            assertTrue(Arrays.toString(problem), problem[1] >= 100 && problem[1] <= 999);
+        }
+    }
+
+    @Test
+    public void recordAnswerChargesPairsFeedingTheColumn() {
+        // Digits from the right: first 4, 3, 2, 1 and second 7, 6, 5, all distinct
+        AdaptiveScheduler scheduler = new AdaptiveScheduler();
+        scheduler.recordAnswer(1234, 567, 2, false, 1000);
+
+        // Units of i + j == 2 and tens of i + j == 1
+        int[][] charged = {{4, 5}, {3, 6}, {2, 7}, {4, 6}, {3, 7}};
+        for (int a = 0; a < 10; a++) {
+            for (int b = 0; b < 10; b++) {
+                boolean expected = false;
+                for (int[] pair : charged) {
+                    expected |= pair[0] == a && pair[1] == b;
+                }
+                assertEquals(a + " * " + b, expected ? 1.0 : 0.0, scheduler.pairErrorRate(a, b), 0);
+            }
+        }
+        assertEquals(1.0, scheduler.columnErrorRate(2), 0);
+        assertEquals(0.0, scheduler.columnErrorRate(1), 0);
+    }
+
+    @Test
+    public void recordAnswerOnEdgeColumns() {
+        AdaptiveScheduler scheduler = new AdaptiveScheduler();
+        scheduler.recordAnswer(1234, 567, 0, false, 1000);
+        scheduler.recordAnswer(1234, 567, 6, false, 1000);
+        int charged = 0;
+        for (int a = 0; a < 10; a++) {
+            for (int b = 0; b < 10; b++) {
+                charged += scheduler.pairErrorRate(a, b) > 0 ? 1 : 0;
+            }
+        }
+        // Column 0 only holds the units of 4 * 7, column 6 only the tens of 1 * 5
+        assertEquals(2, charged);
+        assertEquals(1.0, scheduler.pairErrorRate(4, 7), 0);
+        assertEquals(1.0, scheduler.pairErrorRate(1, 5), 0);
+    }
+
+    @Test
+    public void missedPairComesUpMuchMoreOften() {
+        AdaptiveScheduler trained = new AdaptiveScheduler();
+        for (int a = 0; a < 10; a++) {
+            for (int b = 0; b < 10; b++) {
+                for (int k = 0; k < 100; k++) {
+                    trained.recordAnswer(a * 1111, b * 111, 0, !(a == 3 && b == 8), 1000);
+                }
+            }
+        }
+        int baseline = countContaining(new AdaptiveScheduler(), 3, 8);
+        int weak = countContaining(trained, 3, 8);
+        assertTrue(baseline + " -> " + weak, weak > 3 * baseline);
+    }
+
+    @Test
+    public void moderatelyMissedPairOutweighsSlowPairThatIsNeverMissed() {
+        AdaptiveScheduler scheduler = new AdaptiveScheduler();
+        for (int a = 0; a < 10; a++) {
+            for (int b = 0; b < 10; b++) {
+                boolean weak = a == 7 && b == 8;
+                boolean slow = a == 2 && b == 3;
+                for (int k = 0; k < 100; k++) {
+                    // Column 0 only charges the units pair, so each tap hits exactly (a, b)
+                    scheduler.recordAnswer(a * 1111, b * 111, 0, !(weak && k % 10 < 3), slow ? 9000 : 1000);
+                }
+            }
+        }
+        assertEquals(0.3, scheduler.pairErrorRate(7, 8), 1e-9);
+        assertEquals(0.0, scheduler.pairErrorRate(2, 3), 0);
+        assertTrue(scheduler.pairWeight(7, 8) + " vs " + scheduler.pairWeight(2, 3),
+                scheduler.pairWeight(7, 8) > 10 * scheduler.pairWeight(2, 3));
+
+        int weak = countContaining(scheduler, 7, 8);
+        int slow = countContaining(scheduler, 2, 3);
+        int baseline = countContaining(new AdaptiveScheduler(), 7, 8);
+        assertTrue(slow + " vs " + weak, weak > 2 * slow);
+        assertTrue(baseline + " -> " + weak, weak > 2 * baseline);
+    }
+
+    private static int countContaining(AdaptiveScheduler scheduler, int a, int b) {
+        Random rnd = new Random(11);
+        int count = 0;
+        for (int k = 0; k < 20000; k++) {
+            int[] problem = scheduler.nextProblem(rnd);
+            if (String.valueOf(problem[0]).indexOf('0' + a) >= 0
+                    && String.valueOf(problem[1]).indexOf('0' + b) >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
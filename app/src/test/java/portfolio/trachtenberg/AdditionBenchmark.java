@@ -0,0 +1,81 @@
+package portfolio.trachtenberg;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Random;
+
+// Compares TrachtenbergAddition against reading each line into a BigInteger and summing.
+// Run from the unit test classpath with: AdditionBenchmark [lines] [digits] [rounds]
+public class AdditionBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int digits = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        File file = File.createTempFile("trachtenberg-addition", ".txt");
+        try {
+            writeOperands(file, lines, digits, new Random(42));
+            long bytes = file.length();
+            System.out.println(lines + " lines of up to " + digits + " digits, " + bytes + " bytes");
+
+            for (int round = 1; round <= rounds; round++) {
+                long start = System.nanoTime();
+                TrachtenbergAddition addition = new TrachtenbergAddition();
+                addition.add(file);
+                String trachtenberg = addition.total();
+                long trachtenbergNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                String bigInteger = sumBigIntegers(file).toString();
+                long bigIntegerNanos = System.nanoTime() - start;
+
+                if (!trachtenberg.equals(bigInteger)) {
+                    throw new IllegalStateException("Sums differ: " + trachtenberg + " != " + bigInteger);
+                }
+                System.out.println("round " + round
+                        + ": trachtenberg " + report(trachtenbergNanos, lines, bytes)
+                        + ", biginteger " + report(bigIntegerNanos, lines, bytes));
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static BigInteger sumBigIntegers(File file) throws IOException {
+        BigInteger sum = BigInteger.ZERO;
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sum = sum.add(new BigInteger(line));
+            }
+        }
+        return sum;
+    }
+
+    private static void writeOperands(File file, int lines, int digits, Random rnd) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            char[] number = new char[digits];
+            for (int i = 0; i < lines; i++) {
+                int length = 1 + rnd.nextInt(digits);
+                number[0] = (char) ('1' + rnd.nextInt(9));
+                for (int k = 1; k < length; k++) {
+                    number[k] = (char) ('0' + rnd.nextInt(10));
+                }
+                writer.write(number, 0, length);
+                writer.newLine();
+            }
+        }
+    }
+
+    private static String report(long nanos, int lines, long bytes) {
+        double seconds = nanos / 1e9;
+        return String.format("%.0f ms (%.1f M lines/s, %.0f MB/s)",
+                seconds * 1000, lines / seconds / 1e6, bytes / seconds / 1e6);
+    }
+}
@@ -0,0 +1,147 @@
+package portfolio.trachtenberg;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class TrachtenbergAdditionTest {
+
+    @Test
+    public void totalMatchesBigIntegerOnRandomInput() throws IOException {
+        Random rnd = new Random(3);
+        for (int round = 0; round < 500; round++) {
+            BigInteger expected = BigInteger.ZERO;
+            StringBuilder input = new StringBuilder();
+            int operands = rnd.nextInt(200);
+            for (int k = 0; k < operands; k++) {
+                BigInteger operand = new BigInteger(1 + rnd.nextInt(80), rnd);
+                expected = expected.add(operand);
+                input.append(operand).append('\n');
+            }
+            TrachtenbergAddition addition = new TrachtenbergAddition();
+            addition.add(stream(input.toString()));
+            assertEquals(expected.toString(), addition.total());
+            assertEquals(operands, addition.operandCount());
+        }
+    }
+
+    @Test
+    public void streamsManyOperandsAcrossBufferBoundaries() throws IOException {
+        StringBuilder input = new StringBuilder();
+        BigInteger expected = BigInteger.ZERO;
+        for (int k = 0; k < 100000; k++) {
+            String operand = "9876543210" + k;
+            expected = expected.add(new BigInteger(operand));
+            input.append(operand).append('\n');
+        }
+        TrachtenbergAddition addition = new TrachtenbergAddition();
+        addition.add(stream(input.toString()));
+        assertEquals(expected.toString(), addition.total());
+    }
+
+    @Test
+    public void skipsBlankLinesWhitespaceAndCarriageReturns() throws IOException {
+        TrachtenbergAddition addition = new TrachtenbergAddition();
+        addition.add(stream("12\r\n\r\n  345 \r\n\n\t6\t\n   \n7"));
+        assertEquals("370", addition.total());
+        assertEquals(4, addition.operandCount());
+
+        TrachtenbergAddition typed = new TrachtenbergAddition();
+        typed.add(" 12\r");
+        typed.add("");
+        typed.add("345");
+        assertEquals("357", typed.total());
+        assertEquals(2, typed.operandCount());
+    }
+
+    @Test
+    public void exposesRunningTotalsAndTicksMidStream() {
+        TrachtenbergAddition addition = new TrachtenbergAddition();
+        addition.add("47");
+        assertEquals(7, addition.runningTotal(0));
+        assertEquals(0, addition.ticks(0));
+        assertEquals(4, addition.runningTotal(1));
+        assertEquals(2, addition.columnCount());
+
+        // 7 + 8 = 15 passes 11: running total 4, one tick
+        addition.add("8");
+        assertEquals(4, addition.runningTotal(0));
+        assertEquals(1, addition.ticks(0));
+        assertEquals(4, addition.runningTotal(1));
+
+        // 4 + 9 = 13: running total 2, second tick; 4 + 9 = 13 in the tens as well
+        addition.add("99");
+        assertEquals(2, addition.runningTotal(0));
+        assertEquals(2, addition.ticks(0));
+        assertEquals(2, addition.runningTotal(1));
+        assertEquals(1, addition.ticks(1));
+        assertEquals(0, addition.runningTotal(5));
+        assertEquals(0, addition.ticks(5));
+        assertEquals("154", addition.total());
+    }
+
+    @Test
+    public void emptyInputTotalsZero() throws IOException {
+        assertEquals("0", new TrachtenbergAddition().total());
+
+        TrachtenbergAddition addition = new TrachtenbergAddition();
+        addition.add(stream(""));
+        assertEquals("0", addition.total());
+        addition.add(stream("\n\r\n  \n"));
+        assertEquals("0", addition.total());
+        assertEquals(0, addition.operandCount());
+
+        addition.add("0");
+        addition.add("000");
+        assertEquals("0", addition.total());
+    }
+
+    @Test
+    public void rejectedOperandLeavesNoTrace() throws IOException {
+        TrachtenbergAddition addition = new TrachtenbergAddition();
+        addition.add("5");
+        for (String bad : new String[] {"1x3", "-4", "12 3", "1.5", "\u0131"}) {
+            try {
+                addition.add(bad);
+                fail("Accepted " + bad);
+            } catch (NumberFormatException expected) {
+                // expected
+            }
+        }
+        assertEquals("5", addition.total());
+        assertEquals(1, addition.operandCount());
+        assertEquals(1, addition.columnCount());
+
+        try {
+            addition.add(stream("7\n9a9\n8\n"));
+            fail("Accepted 9a9");
+        } catch (NumberFormatException expected) {
+            // expected
+        }
+        // Lines before the bad one are kept, the bad one is dropped whole
+        assertEquals("12", addition.total());
+        assertEquals(1, addition.columnCount());
+    }
+
+    @Test
+    public void resetClearsState() {
+        TrachtenbergAddition addition = new TrachtenbergAddition();
+        addition.add("999999999999");
+        addition.reset();
+        addition.add("1");
+        assertEquals("1", addition.total());
+        assertEquals(1, addition.columnCount());
+    }
+
+    private static InputStream stream(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII));
+    }
+}